@@ -1,12 +1,16 @@
 package com.artlycode.algs.graphs.vehiclebookingseqs.booking;
 
 import com.artlycode.algs.graphs.vehiclebookingseqs.graph.Arrow;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.GraphSnapshot;
 import com.artlycode.algs.graphs.vehiclebookingseqs.graph.Graphs;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Class containing utility methods working with bookings.
@@ -25,22 +29,95 @@ public class BookingsUtilities {
      * @return Any optimal sequence of bookings with minimal number of vehicle relocations between orders.
      */
     public static List<List<Booking>> optimizeLogistics(List<Booking> bookings) {
-        // Prepare new sequential indexes for every booking instead of using internal id of bookings
-        Map<Integer, Booking> indexMap = IntStream.range(0, bookings.size())
-                .boxed()
-                .collect(Collectors.toMap(k -> k, v -> bookings.get(v.intValue())));
-
-        // Convert bookings into arrows of the graph
-        List<Arrow> arrows = indexMap.entrySet()
-                .stream()
-                .map(x -> new Arrow(x.getValue().getStart(), x.getValue().getEnd(), x.getKey()))
-                .collect(Collectors.toList());
+        Booking[] indexMap = new Booking[bookings.size()];
+        List<Arrow> arrows = toArrows(bookings, indexMap);
         List<List<Arrow>> paths = Graphs.breakAllIntoDeepUniquePaths(arrows);
 
-        // Convert all paths of the graph into the list of bookings
+        // Convert all paths of the graph into the list of bookings, which also restores the original locations
         return paths.stream()
-                .map(x -> x.stream().map(y -> indexMap.get(y.getId())).collect(Collectors.toList()))
+                .map(x -> x.stream().map(y -> indexMap[y.getId()]).collect(Collectors.toList()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Converts the bookings into the arrows of the graph. The locations are numbered densely in order they are met,
+     * and the arrows get sequential ids in the order of their start vertices, so the arrows of every vertex have
+     * contiguous ids.
+     *
+     * @param bookings list of booking orders
+     * @param indexMap array to fill with the bookings, where indexes are the ids of their arrows
+     * @return arrows of the graph, where index is the arrow id
+     */
+    static List<Arrow> toArrows(List<Booking> bookings, Booking[] indexMap) {
+        // Number the locations densely in order they are met
+        int m = bookings.size();
+        int[] starts = new int[m];
+        int[] ends = new int[m];
+        Map<Integer, Integer> locationIndex = new HashMap<>();
+        for (int i = 0; i < m; i++) {
+            starts[i] = locationIndex.computeIfAbsent(bookings.get(i).getStart(), k -> locationIndex.size());
+            ends[i] = locationIndex.computeIfAbsent(bookings.get(i).getEnd(), k -> locationIndex.size());
+        }
+
+        // Prepare new sequential indexes for every booking instead of using internal id of bookings. The bookings
+        // are ordered by the start location, so the arrows of every vertex get contiguous ids.
+        int n = locationIndex.size();
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            offsets[starts[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        Arrow[] arrows = new Arrow[m];
+        for (int i = 0; i < m; i++) {
+            int arrowId = offsets[starts[i]]++;
+            indexMap[arrowId] = bookings.get(i);
+            arrows[arrowId] = new Arrow(starts[i], ends[i], arrowId);
+        }
+        return Arrays.asList(arrows);
+    }
+
+    /**
+     * Writes the sequences of bookings into the snapshot file, so they can be restored without reading and
+     * analyzing the bookings again.
+     *
+     * @param file   file to write to
+     * @param chains sequences of bookings, the ids of bookings should be unique
+     * @throws IOException if the file can't be written
+     */
+    public static void writeSnapshot(Path file, List<List<Booking>> chains) throws IOException {
+        // Bookings are the arrows of the graph connecting their original locations
+        List<List<Arrow>> paths = chains.stream()
+                .map(x -> x.stream()
+                        .map(y -> new Arrow(y.getStart(), y.getEnd(), y.getId()))
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        List<Arrow> arrows = paths.stream().flatMap(List::stream).collect(Collectors.toList());
+        new GraphSnapshot(arrows, paths).write(file);
+    }
+
+    /**
+     * Reads the sequences of bookings from the snapshot file written by {@link #writeSnapshot(Path, List)}.
+     *
+     * @param file file to read from
+     * @return sequences of bookings
+     * @throws IOException if the file can't be read or doesn't contain a valid snapshot
+     */
+    public static List<List<Booking>> readSnapshot(Path file) throws IOException {
+        return GraphSnapshot.read(file)
+                .getPaths()
+                .stream()
+                .map(x -> x.stream().map(BookingsUtilities::toBooking).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private static Booking toBooking(Arrow arrow) {
+        Booking booking = new Booking();
+        booking.setId(arrow.getId());
+        booking.setStart(arrow.getFrom());
+        booking.setEnd(arrow.getTo());
+        return booking;
+    }
+
 }
@@ -0,0 +1,268 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of a graph and of the paths found in it, which can be written into a compact binary file and read back
+ * instead of building the graph and searching the paths again.<br>
+ * <br>
+ * The file contains the following sections of 4-byte integers, and the CRC32 checksum of all of them at the end:
+ * <pre>
+ * header         magic, version, number of vertices (n), number of arrows (m), number of paths (k)
+ * vertices       n ids of the vertices
+ * arrow offsets  n + 1 positions of the first outbound arrow of every vertex in the arrows sections
+ * arrow ids      m ids of the arrows grouped by their start vertices
+ * arrow ends     m indexes of the end vertices of the arrows in the vertices section
+ * path offsets   k + 1 positions of the first arrow of every path in the path arrows section
+ * path arrows    positions of the arrows of all paths in the arrows sections
+ * </pre>
+ * The file is written by a single sequential write into a temporary file, which then replaces the target file, so
+ * the target file always contains a complete snapshot. The file is read back into the heap by sequential reads.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class GraphSnapshot {
+
+    private static final int MAGIC = 0x56425347;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_INTS = 5;
+
+    private List<Arrow> arrows;
+
+    private List<List<Arrow>> paths;
+
+    /**
+     * @param arrows arrows of the graph, their ids should be unique
+     * @param paths  paths consisting of the arrows of the graph
+     */
+    public GraphSnapshot(List<Arrow> arrows, List<List<Arrow>> paths) {
+        this.arrows = arrows;
+        this.paths = paths;
+    }
+
+    public List<Arrow> getArrows() {
+        return arrows;
+    }
+
+    public List<List<Arrow>> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Writes the snapshot into the file replacing it.
+     *
+     * @param file file to write to
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path file) throws IOException {
+        // Number the vertices in order they are met, and count outbound arrows of every vertex
+        Map<Integer, Integer> vertexIndex = new LinkedHashMap<>();
+        for (Arrow arrow : arrows) {
+            vertexIndex.putIfAbsent(arrow.getFrom(), vertexIndex.size());
+            vertexIndex.putIfAbsent(arrow.getTo(), vertexIndex.size());
+        }
+        int n = vertexIndex.size();
+        int m = arrows.size();
+        int[] arrowOffsets = new int[n + 1];
+        for (Arrow arrow : arrows) {
+            arrowOffsets[vertexIndex.get(arrow.getFrom()) + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            arrowOffsets[i + 1] += arrowOffsets[i];
+        }
+
+        // Place the arrows grouped by their start vertices
+        int[] next = new int[n];
+        System.arraycopy(arrowOffsets, 0, next, 0, n);
+        int[] arrowIds = new int[m];
+        int[] arrowEnds = new int[m];
+        Map<Integer, Integer> arrowPositions = new HashMap<>();
+        for (Arrow arrow : arrows) {
+            int p = next[vertexIndex.get(arrow.getFrom())]++;
+            arrowIds[p] = arrow.getId();
+            arrowEnds[p] = vertexIndex.get(arrow.getTo());
+            if (arrowPositions.put(arrow.getId(), p) != null) {
+                throw new IllegalArgumentException("The graph has more than one arrow with id " + arrow.getId());
+            }
+        }
+
+        int[] pathOffsets = new int[paths.size() + 1];
+        for (int i = 0; i < paths.size(); i++) {
+            pathOffsets[i + 1] = pathOffsets[i] + paths.get(i).size();
+        }
+        int[] pathArrows = new int[pathOffsets[paths.size()]];
+        int i = 0;
+        for (List<Arrow> path : paths) {
+            for (Arrow arrow : path) {
+                Integer p = arrowPositions.get(arrow.getId());
+                if (p == null) {
+                    throw new IllegalArgumentException("The path arrow is not in the graph " + arrow);
+                }
+                pathArrows[i++] = p;
+            }
+        }
+
+        long size = 4L * (HEADER_INTS + n + n + 1 + m + m + pathOffsets.length + pathArrows.length) + 8;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The graph is too large for the snapshot");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.put(MAGIC).put(VERSION).put(n).put(m).put(paths.size());
+        for (Integer vertex : vertexIndex.keySet()) {
+            ints.put(vertex);
+        }
+        ints.put(arrowOffsets).put(arrowIds).put(arrowEnds).put(pathOffsets).put(pathArrows);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, (int) size - 8);
+        buffer.putLong((int) size - 8, crc.getValue());
+
+        // Write everything into the temporary file at once, and replace the target file by it. The temporary file
+        // is deleted if anything fails, so a partially written file isn't left next to the target one.
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException deleteException) {
+                e.addSuppressed(deleteException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the snapshot from the file.
+     *
+     * @param file file to read from
+     * @return the snapshot, the arrows of its paths are the same objects as the arrows of the graph
+     * @throws IOException if the file can't be read or doesn't contain a valid snapshot
+     */
+    public static GraphSnapshot read(Path file) throws IOException {
+        // Every value is copied into the arrays anyway, so the file is read into the heap instead of being mapped,
+        // which would keep the file locked until the mapping is garbage collected on some systems
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 4 * HEADER_INTS + 8 || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The file is not a graph snapshot: " + file);
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("The graph snapshot is truncated: " + file);
+                }
+            }
+        }
+        // The Buffer methods are called through the Buffer type, because since Java 9 the buffers override them with
+        // covariant return types, which don't exist on Java 8
+        ((Buffer) buffer).flip();
+        int size = buffer.capacity();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, size - 8);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("The file is not a graph snapshot: " + file);
+        }
+        if (crc.getValue() != buffer.getLong(size - 8)) {
+            throw new IOException("The graph snapshot checksum doesn't match: " + file);
+        }
+
+        IntBuffer ints = buffer.asIntBuffer();
+        ((Buffer) ints).position(2);
+        int n = ints.get();
+        int m = ints.get();
+        int k = ints.get();
+        if (n < 0 || m < 0 || k < 0 || 4L * (HEADER_INTS + n + n + 1 + m + m + k + 1) + 8 > size) {
+            throw new IOException("The graph snapshot is corrupted: " + file);
+        }
+        int[] vertices = new int[n];
+        int[] arrowOffsets = new int[n + 1];
+        int[] arrowIds = new int[m];
+        int[] arrowEnds = new int[m];
+        int[] pathOffsets = new int[k + 1];
+        ints.get(vertices).get(arrowOffsets).get(arrowIds).get(arrowEnds).get(pathOffsets);
+        if (ints.remaining() - 2 != pathOffsets[k]) {
+            throw new IOException("The graph snapshot is corrupted: " + file);
+        }
+        int[] pathArrows = new int[pathOffsets[k]];
+        ints.get(pathArrows);
+
+        // The checksum doesn't protect from a file written wrong, so check the sections refer to each other correctly
+        if (!isOffsets(arrowOffsets, m) || !isOffsets(pathOffsets, pathArrows.length)
+                || !isIndexes(arrowEnds, n) || !isIndexes(pathArrows, m)) {
+            throw new IOException("The graph snapshot is corrupted: " + file);
+        }
+
+        // Restore the arrows grouped by their start vertices
+        List<Arrow> arrows = new ArrayList<>(m);
+        for (int v = 0; v < n; v++) {
+            for (int p = arrowOffsets[v]; p < arrowOffsets[v + 1]; p++) {
+                arrows.add(new Arrow(vertices[v], vertices[arrowEnds[p]], arrowIds[p]));
+            }
+        }
+
+        List<List<Arrow>> paths = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            List<Arrow> path = new ArrayList<>(pathOffsets[i + 1] - pathOffsets[i]);
+            for (int p = pathOffsets[i]; p < pathOffsets[i + 1]; p++) {
+                path.add(arrows.get(pathArrows[p]));
+            }
+            paths.add(path);
+        }
+        return new GraphSnapshot(arrows, paths);
+    }
+
+    /**
+     * Checks that the offsets start from 0, don't decrease, and end with the size of the section they point to.
+     */
+    private static boolean isOffsets(int[] offsets, int size) {
+        if (offsets[0] != 0 || offsets[offsets.length - 1] != size) {
+            return false;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that all indexes are in the range [0, size).
+     */
+    private static boolean isIndexes(int[] indexes, int size) {
+        for (int index : indexes) {
+            if (index < 0 || index >= size) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
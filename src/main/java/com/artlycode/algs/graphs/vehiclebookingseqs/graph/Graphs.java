@@ -1,13 +1,18 @@
 package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,7 +46,9 @@ public class Graphs {
      * number of inbound arrows), and exclude them from the graph <p>
      * <li> In the reduced graph while possible, find all possible random paths starting from all available vertices
      * with degree=0. All those paths are cycles <p>
-     * <li> Attempt insert the cycles found on step 2 into the identified paths found on step 1. <p>
+     * <li> Attempt insert the cycles found on step 2 into the identified paths found on step 1, and into the paths
+     * extended by the cycles inserted before. The cycles having no common vertices with any path become the paths
+     * themselves, so the other cycles can be inserted into them. <p>
      * <li> The new paths with inserted cycles and the cycles which are not inserted into the paths (isolated cycles)
      * form the list of all found paths.
      * </ol>
@@ -61,73 +68,131 @@ public class Graphs {
                 .collect(Collectors.toList());
 
         // Find any paths in the matrix starting from positive degree vertices
-        List<List<Arrow>> paths = extractOutboundPaths(g, posVertices, arrows.size());
+        List<List<Arrow>> paths = extractOutboundPaths(g, posVertices);
 
         // After excluding the paths starting from positive degree vertices, the matrix may only contain cycles.
         // Find all finite paths (cycles) in the graph reduced by this point. All vertices are having 0 degree.
         List<List<Arrow>> cycles = new LinkedList<>();
         while (!g.isEmpty()) {
-            Vertex zeroVertex = g.getVertices()
-                    .stream()
-                    .filter(x -> x.getNumOutArrows() - x.getNumInArrows() == 0)
-                    .findFirst()
-                    .orElse(null);
+            Vertex zeroVertex = g.findVertex(x -> x.getNumOutArrows() - x.getNumInArrows() == 0);
 
-            cycles.addAll(extractOutboundPaths(g, Collections.singletonList(zeroVertex), arrows.size()));
+            cycles.addAll(extractOutboundPaths(g, Collections.singletonList(zeroVertex)));
         }
 
         logGraphPath("Paths before merging with cycles:", paths);
         logGraphPath("Cycles before merging with paths:", cycles);
 
-        // Prepare maps of vertices as keys to paths they met in as values.
-        Map<Integer, List<Arrow>> vertexToPathMap = new HashMap<>();
-        for (List<Arrow> path : paths) {
-            for (Arrow arrow : path) {
-                // We can extend path even from the first vertex, but no from the last one in the path
-                int v = arrow.getFrom();
-                if (!vertexToPathMap.containsKey(v)) {
-                    vertexToPathMap.put(v, path);
-                }
+        // Prepare maps of vertices as keys to cycles they met in as values.
+        Map<Integer, List<List<Arrow>>> vertexToCyclesMap = new HashMap<>();
+        for (List<Arrow> cycle : cycles) {
+            for (Arrow arrow : cycle) {
+                vertexToCyclesMap.computeIfAbsent(arrow.getFrom(), k -> new LinkedList<>()).add(cycle);
             }
         }
 
-        // Iterate over all cycles and check if we can insert any into the paths found before.
-        Iterator<List<Arrow>> iter = cycles.iterator();
-        while (iter.hasNext()) {
-            List<Arrow> cycle = iter.next();
+        // Prepare the set of vertices met in the paths, and the queue of vertices which are not checked yet for the
+        // cycles to insert.
+        Set<Integer> pathVertices = new HashSet<>();
+        Deque<Integer> verticesToCheck = new ArrayDeque<>();
+        for (List<Arrow> path : paths) {
+            addPathVertices(pathVertices, verticesToCheck, path);
+        }
 
-            // Try to find an arrow of the cycle which is outbound from any of vertices from paths
-            Arrow cycleEntryArrow = cycle.stream()
-                    .filter(a -> vertexToPathMap.containsKey(a.getFrom()))
-                    .findFirst()
-                    .orElse(null);
+        // Find the cycles to insert into the paths through their common vertices. An inserted cycle adds its vertices
+        // to the path, so the other cycles are inserted through them as well. Once there are no more cycles sharing a
+        // vertex with the paths, the next remaining cycle becomes an independent path and the other cycles are
+        // inserted into it the same way. The cycles are only attached to the vertices here, and spliced into the
+        // paths at once afterwards.
+        Map<Integer, List<List<Arrow>>> vertexToInsertedCyclesMap = new HashMap<>();
+        Set<List<Arrow>> mergedCycles = Collections.newSetFromMap(new IdentityHashMap<>());
+        Iterator<List<Arrow>> iter = cycles.iterator();
+        while (!verticesToCheck.isEmpty() || iter.hasNext()) {
+            if (verticesToCheck.isEmpty()) {
+                List<Arrow> cycle = iter.next();
+                if (mergedCycles.add(cycle)) {
+                    paths.add(cycle);
+                    addPathVertices(pathVertices, verticesToCheck, cycle);
+                }
+                continue;
+            }
 
-            // If we found common vertex for a path and for the cycle, then merge them
-            if (cycleEntryArrow != null) {
+            int v = verticesToCheck.poll();
+            List<List<Arrow>> vertexCycles = vertexToCyclesMap.remove(v);
+            if (vertexCycles == null) {
+                continue;
+            }
+            for (List<Arrow> cycle : vertexCycles) {
+                if (!mergedCycles.add(cycle)) {
+                    continue;
+                }
                 // Roll the cycles arrows to place the lining vertex at the start of the cycle
+                Arrow cycleEntryArrow = cycle.stream().filter(a -> a.getFrom() == v).findFirst().get();
                 cycle = getRolledCycle(cycle, cycleEntryArrow);
 
-                // Find the index in the path list to insert the cycle into
-                int v = cycleEntryArrow.getFrom();
-                List<Arrow> path = vertexToPathMap.get(v);
-                int idx = findArrowIndexByVertexId(path, v);
-
-                if (idx >= 0) {
-                    // Add cycle into the path
-                    path.addAll(idx, cycle);
-                    // Remove cycle from the cycles list
-                    iter.remove();
-                }
+                vertexToInsertedCyclesMap.computeIfAbsent(v, k -> new LinkedList<>()).add(cycle);
+                addPathVertices(pathVertices, verticesToCheck, cycle);
             }
-
         }
-        // Here we sure that there are no cycles which can extend an identified path, so add into the result as
-        // independent paths too.
-        paths.addAll(cycles);
+
+        paths = paths.stream()
+                .map(x -> spliceCycles(x, vertexToInsertedCyclesMap))
+                .collect(Collectors.toList());
         logGraphPath("Result list of paths:", paths);
         return paths;
     }
 
+    /**
+     * Registers the start vertices of the path arrows, which are not met in any path yet.
+     *
+     * @param pathVertices vertices met in the paths
+     * @param newVertices  queue to add the newly registered vertices to
+     * @param path         arrows of the path to register
+     */
+    private static void addPathVertices(Set<Integer> pathVertices, Deque<Integer> newVertices, List<Arrow> path) {
+        for (Arrow arrow : path) {
+            // We can extend path even from the first vertex, but no from the last one in the path
+            if (pathVertices.add(arrow.getFrom())) {
+                newVertices.add(arrow.getFrom());
+            }
+        }
+    }
+
+    /**
+     * Returns new path where the cycles attached to the vertices are inserted before the first arrow outbound from
+     * the vertex. The inserted cycles are expanded the same way, so the arrows of the cycles attached to their
+     * vertices are inserted as well. Every arrow is passed only once.
+     *
+     * @param path                      path
+     * @param vertexToInsertedCyclesMap map of vertices to the cycles starting from them, the cycles inserted by this
+     *                                  call are removed from it
+     * @return path with inserted cycles
+     */
+    private static List<Arrow> spliceCycles(List<Arrow> path,
+            Map<Integer, List<List<Arrow>>> vertexToInsertedCyclesMap) {
+        List<Arrow> result = new ArrayList<>(path.size());
+        Deque<Iterator<Arrow>> stack = new ArrayDeque<>();
+        stack.push(path.iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Arrow> iter = stack.peek();
+            if (!iter.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Arrow arrow = iter.next();
+            List<List<Arrow>> cycles = vertexToInsertedCyclesMap.remove(arrow.getFrom());
+            if (cycles == null) {
+                result.add(arrow);
+            } else {
+                // Pass the cycles first, then the arrow itself
+                stack.push(Collections.singletonList(arrow).iterator());
+                for (List<Arrow> cycle : cycles) {
+                    stack.push(cycle.iterator());
+                }
+            }
+        }
+        return result;
+    }
+
     private static void logGraphPath(final String message, final List<List<Arrow>> paths) {
         System.out.println(message + " (n=" + paths.size() + ")");
         int count = 0;
@@ -171,33 +236,12 @@ public class Graphs {
     }
 
     /**
-     * Returns index of Arrow in the list containing vertexId as start point.
-     *
-     * @param path
-     * @param vertexId
-     * @return positive value equal to the index, and -1 if not found
-     */
-    private static int findArrowIndexByVertexId(List<Arrow> path, int vertexId) {
-        int i = 0;
-        int p = -1;
-        for (Arrow arrow : path) {
-            if (arrow.getFrom() == vertexId) {
-                p = i;
-                break;
-            } else {
-                i++;
-            }
-        }
-        return p;
-    }
-
-    /**
-     * Searches all outbound paths for the provided vertices
+     * Searches and excludes from the graph all outbound paths for the provided vertices
      *
      * @param g        graph
      * @param vertices vertices to handle
      */
-    private static List<List<Arrow>> extractOutboundPaths(MultiArrowGraph g, List<Vertex> vertices, int maxArrowId) {
+    private static List<List<Arrow>> extractOutboundPaths(MultiArrowGraph g, List<Vertex> vertices) {
         List<List<Arrow>> result = new ArrayList<>();
         // For each node with positive degree find the longest paths
         for (Vertex startV : vertices) {
@@ -205,9 +249,7 @@ public class Graphs {
 
             // We need to find and exclude one by one degree number of longest paths for the start node and exclude
             for (int i = 0; i < degree; i++) {
-                List<Arrow> path = findAnyDeepPath(g, startV.getId(), maxArrowId);
-                result.add(path);
-                g.removeSubGraph(path);
+                result.add(extractAnyDeepPath(g, startV.getId()));
             }
         }
         return result;
@@ -238,5 +280,32 @@ public class Graphs {
         }
         return path;
     }
-}
 
+    /**
+     * Searches any path in the graph without repeating the arrows starting from startVertex, and REMOVES the arrows
+     * of the path from the graph, together with the vertices left without arrows. Unlike
+     * {@link #findAnyDeepPath(MultiArrowGraph, int, int)} it doesn't scan the passed arrows again on every step, so
+     * the time is linear in the length of the path.
+     *
+     * @param g  graph, the arrows of the found path are removed from it
+     * @param v0 start vertex
+     * @return list of arrows representing the path in the graph
+     */
+    private static List<Arrow> extractAnyDeepPath(MultiArrowGraph g, int v0) {
+        List<Arrow> path = new LinkedList<>();
+
+        // Every passed arrow is removed, so any outbound arrow of the vertex is not visited yet
+        Vertex v = g.getVertex(v0);
+        while (v != null) {
+            Arrow nextArrow = v.getAnyOutArrow();
+            if (nextArrow != null) {
+                path.add(nextArrow);
+                g.removeArrow(nextArrow);
+                v = g.getVertex(nextArrow.getTo());
+            } else {
+                v = null;
+            }
+        }
+        return path;
+    }
+}
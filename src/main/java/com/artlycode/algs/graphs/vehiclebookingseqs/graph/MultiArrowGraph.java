@@ -2,9 +2,10 @@ package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
 
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -31,7 +32,7 @@ public class MultiArrowGraph {
      * @return MultiArrowGraph
      */
     public static MultiArrowGraph fromArrows(Collection<Arrow> arrows) {
-        Map<Integer, Vertex> matrix = new HashMap<>();
+        Map<Integer, Vertex> matrix = new LinkedHashMap<>();
 
         for (Arrow arrow : arrows) {
             int start = arrow.getFrom();
@@ -71,20 +72,39 @@ public class MultiArrowGraph {
      */
     public void removeSubGraph(List<Arrow> arrows) {
         for (Arrow arrow : arrows) {
-            // Remove outbound arrow
-            Vertex v1 = matrix.get(arrow.getFrom());
-            v1.removeOutArrow(arrow.getTo(), arrow.getId());
-            if (v1.getNumOutArrows() + v1.getNumInArrows() == 0) {
-                matrix.remove(v1.getId());
-            }
+            removeArrow(arrow);
+        }
+    }
 
-            // Remove inbound arrow
-            Vertex v2 = matrix.get(arrow.getTo());
-            v2.removeInArrows(arrow.getFrom(), arrow.getId());
-            if (v2.getNumOutArrows() + v2.getNumInArrows() == 0) {
-                matrix.remove(v2.getId());
-            }
+    /**
+     * Removes the arrow and its vertices if they become isolated after that removal
+     *
+     * @param arrow arrow
+     */
+    public void removeArrow(Arrow arrow) {
+        // Remove outbound arrow
+        Vertex v1 = matrix.get(arrow.getFrom());
+        v1.removeOutArrow(arrow.getTo(), arrow.getId());
+        if (v1.getNumOutArrows() + v1.getNumInArrows() == 0) {
+            matrix.remove(v1.getId());
         }
+
+        // Remove inbound arrow
+        Vertex v2 = matrix.get(arrow.getTo());
+        v2.removeInArrows(arrow.getFrom(), arrow.getId());
+        if (v2.getNumOutArrows() + v2.getNumInArrows() == 0) {
+            matrix.remove(v2.getId());
+        }
+    }
+
+    /**
+     * Returns the first vertex matching the predicate
+     *
+     * @param predicate predicate to check the vertices
+     * @return the vertex or null if there is no such vertex
+     */
+    public Vertex findVertex(Predicate<Vertex> predicate) {
+        return matrix.values().stream().filter(predicate).findFirst().orElse(null);
     }
 
     public Vertex getVertex(int vertexId) {
@@ -1,7 +1,7 @@
 package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -26,14 +26,14 @@ public class Vertex {
     /**
      * Map containing all vertices connected by this vertex's outbound arrows
      * Keys are the end vertices for this vertex's outbound arrows.
-     * Values are the HashSets containing ids of the outbound arrows.
+     * Values are the sets containing ids of the outbound arrows.
      */
     private Map<Integer, Set<Integer>> outArrows;
 
     /**
      * Map containing all vertices connected by this vertex's inbound arrows
      * Keys are the start vertices for this vertex's inbound arrows.
-     * Values are the HashSets containing ids of the inbound arrows.
+     * Values are the sets containing ids of the inbound arrows.
      */
     private Map<Integer, Set<Integer>> inArrows;
 
@@ -41,8 +41,8 @@ public class Vertex {
         this.id = id;
         this.numOutArrows = 0;
         this.numInArrows = 0;
-        this.outArrows = new HashMap<>();
-        this.inArrows = new HashMap<>();
+        this.outArrows = new LinkedHashMap<>();
+        this.inArrows = new LinkedHashMap<>();
     }
 
     public int getId() {
@@ -63,10 +63,24 @@ public class Vertex {
         return result;
     }
 
+    /**
+     * Returns any outbound arrow of the vertex without building the whole list of them.
+     *
+     * @return the arrow or null if the vertex doesn't have outbound arrows
+     */
+    public Arrow getAnyOutArrow() {
+        for (Map.Entry<Integer, Set<Integer>> s : outArrows.entrySet()) {
+            for (Integer arrowId : s.getValue()) {
+                return new Arrow(this.id, s.getKey(), arrowId);
+            }
+        }
+        return null;
+    }
+
     public void addOutArrow(Integer to, Integer arrowId) {
         Set<Integer> arrowIds = this.outArrows.get(to);
         if (arrowIds == null) {
-            arrowIds = new HashSet<>();
+            arrowIds = new LinkedHashSet<>();
             this.outArrows.put(to, arrowIds);
         }
         arrowIds.add(arrowId);
@@ -77,6 +91,10 @@ public class Vertex {
         Set<Integer> arrowIds = this.getOutArrows(to);
         if (arrowIds != null) {
             arrowIds.remove(arrowId);
+            // Drop the empty sets, so searching any arrow doesn't pass through them
+            if (arrowIds.isEmpty()) {
+                this.outArrows.remove(to);
+            }
         } else {
             throw new IllegalStateException("The graph vertex doesn't have this arrow");
         }
@@ -88,6 +106,9 @@ public class Vertex {
         Set<Integer> arrowIds = this.getInArrows(from);
         if (arrowIds != null) {
             arrowIds.remove(arrowId);
+            if (arrowIds.isEmpty()) {
+                this.inArrows.remove(from);
+            }
         } else {
             throw new IllegalStateException("The graph vertex doesn't have this arrow");
         }
@@ -102,7 +123,7 @@ public class Vertex {
     public void addInArrow(Integer from, Integer arrowId) {
         Set<Integer> arrowIds = this.inArrows.get(from);
         if (arrowIds == null) {
-            arrowIds = new HashSet<>();
+            arrowIds = new LinkedHashSet<>();
             this.inArrows.put(from, arrowIds);
         }
         arrowIds.add(arrowId);
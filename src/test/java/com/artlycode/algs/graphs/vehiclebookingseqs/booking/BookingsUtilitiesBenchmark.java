@@ -0,0 +1,104 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.booking;
+
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.Arrow;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.Graphs;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.QuietOutput;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.RandomArrowsGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the time of {@link BookingsUtilities#optimizeLogistics(List)}, which numbers the locations densely, with
+ * the time of breaking the graph of the same bookings into paths keeping the original locations as the vertex ids.
+ * Run it by <code>./gradlew benchmark</code>.<br>
+ * <br>
+ * The variants are run in a different order in every round, and the warm-up rounds are not reported.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class BookingsUtilitiesBenchmark {
+
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private static final int ROUNDS = 6;
+
+    private static final String[] NAMES = {"original ids", "dense ids"};
+
+    private static final List<Function<List<Booking>, List<List<Booking>>>> VARIANTS = Arrays.asList(
+            BookingsUtilitiesBenchmark::optimizeWithOriginalIds,
+            BookingsUtilities::optimizeLogistics);
+
+    public static void main(String[] args) {
+        benchmark("Skewed sparse locations", new RandomArrowsGenerator(1)
+                .hubArrows(300_000, 1_000_000_007, 0.6, 0, Integer.MAX_VALUE)
+                .randomArrows(300_000, 0, Integer.MAX_VALUE)
+                .parallelArrows(10_000, 10, 0, 1_000)
+                .selfLoops(100_000, 0, 1_000)
+                .build());
+        benchmark("Uniform sparse locations", new RandomArrowsGenerator(2)
+                .randomArrows(1_000_000, 0, Integer.MAX_VALUE)
+                .build());
+        benchmark("Uniform dense locations", new RandomArrowsGenerator(3)
+                .randomArrows(1_000_000, 0, 250_000)
+                .build());
+    }
+
+    private static void benchmark(String name, List<Arrow> arrows) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Arrow arrow : arrows) {
+            Booking booking = new Booking();
+            booking.setId(arrow.getId());
+            booking.setStart(arrow.getFrom());
+            booking.setEnd(arrow.getTo());
+            bookings.add(booking);
+        }
+
+        System.out.println(name + " (n=" + bookings.size() + ")");
+        long[][] times = new long[VARIANTS.size()][ROUNDS];
+        for (int i = -WARM_UP_ROUNDS; i < ROUNDS; i++) {
+            StringBuilder line = new StringBuilder("#" + i + ":");
+            for (int j = 0; j < VARIANTS.size(); j++) {
+                // Rotate the variants, so none of them always runs after the same one
+                int variant = Math.floorMod(i + j, VARIANTS.size());
+                System.gc();
+                long start = System.nanoTime();
+                QuietOutput.call(() -> VARIANTS.get(variant).apply(bookings));
+                long time = (System.nanoTime() - start) / 1_000_000;
+
+                line.append("\t").append(NAMES[variant]).append(" ").append(time).append(" ms");
+                if (i >= 0) {
+                    times[variant][i] = time;
+                }
+            }
+            if (i >= 0) {
+                System.out.println(line);
+            }
+        }
+
+        for (int j = 0; j < VARIANTS.size(); j++) {
+            Arrays.sort(times[j]);
+            System.out.println("median " + NAMES[j] + ": " + times[j][ROUNDS / 2] + " ms");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Breaks the graph of bookings into paths keeping the original locations as the vertex ids.
+     */
+    private static List<List<Booking>> optimizeWithOriginalIds(List<Booking> bookings) {
+        List<Arrow> arrows = new ArrayList<>();
+        for (Booking booking : bookings) {
+            arrows.add(new Arrow(booking.getStart(), booking.getEnd(), arrows.size()));
+        }
+        return Graphs.breakAllIntoDeepUniquePaths(arrows)
+                .stream()
+                .map(x -> x.stream().map(y -> bookings.get(y.getId())).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+}
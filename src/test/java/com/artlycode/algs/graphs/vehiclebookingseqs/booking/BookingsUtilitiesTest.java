@@ -0,0 +1,176 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.booking;
+
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.Arrow;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.LargeTests;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.QuietOutput;
+import com.artlycode.algs.graphs.vehiclebookingseqs.graph.RandomArrowsGenerator;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.artlycode.algs.graphs.vehiclebookingseqs.graph.PathsAssertions.assertDeepUniquePaths;
+import static com.artlycode.algs.graphs.vehiclebookingseqs.graph.ScalingAssertions.assertLinearScaling;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link BookingsUtilities} on the sample bookings and on the generated bookings with sparse locations.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class BookingsUtilitiesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSampleBookings() throws Exception {
+        assertOptimizedLogistics(readBookings("bookingordering.json"), 3);
+        assertOptimizedLogistics(readBookings("bookings1.json"), 7);
+        assertOptimizedLogistics(readBookings("bookings2.json"), 4);
+    }
+
+    @Test
+    public void testRandomSparseLocations() {
+        for (int seed = 0; seed < 500; seed++) {
+            List<Booking> bookings = toBookings(new RandomArrowsGenerator(seed)
+                    .randomArrows(1 + seed % 50, -5000, 10000)
+                    .hubArrows(seed % 10, seed * 31, 0.5, -5000, 10000)
+                    .selfLoops(seed % 3, -5000, 10000)
+                    .build());
+            assertOptimizedLogistics(bookings, -1);
+        }
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeSkewedSparseLocations() {
+        List<Booking> bookings = skewedSparseLocations(800_000);
+        List<List<Booking>> chains = assertLinearScaling(skewedSparseLocations(400_000), bookings, 30_000,
+                x -> QuietOutput.call(() -> BookingsUtilities.optimizeLogistics(x)));
+        assertOptimizedLogistics(bookings, chains, -1);
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        List<Booking> bookings = readBookings("bookings2.json");
+        List<List<Booking>> chains = QuietOutput.call(() -> BookingsUtilities.optimizeLogistics(bookings));
+        Path file = folder.getRoot().toPath().resolve("bookings.snapshot");
+        BookingsUtilities.writeSnapshot(file, chains);
+
+        assertEquals(chains.toString(), BookingsUtilities.readSnapshot(file).toString());
+    }
+
+    @Test
+    public void testArrowsOfVertexAreContiguous() {
+        List<Booking> bookings = toBookings(new RandomArrowsGenerator(3)
+                .hubArrows(5_000, 1_000_000_007, 0.5, 0, Integer.MAX_VALUE)
+                .randomArrows(5_000, -1_000, 2_000)
+                .parallelArrows(100, 5, -1_000, 2_000)
+                .build());
+        Booking[] indexMap = new Booking[bookings.size()];
+        List<Arrow> arrows = BookingsUtilities.toArrows(bookings, indexMap);
+
+        Map<Integer, Integer> firstIds = new HashMap<>();
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int i = 0; i < arrows.size(); i++) {
+            Arrow arrow = arrows.get(i);
+            assertEquals(i, arrow.getId());
+            firstIds.putIfAbsent(arrow.getFrom(), i);
+            int count = counts.merge(arrow.getFrom(), 1, Integer::sum);
+            assertEquals("Arrows of vertex " + arrow.getFrom() + " are not contiguous",
+                    firstIds.get(arrow.getFrom()) + count - 1, i);
+        }
+
+        // The same locations of the bookings are always the same vertices
+        Map<Integer, Integer> locations = new HashMap<>();
+        for (Arrow arrow : arrows) {
+            Booking booking = indexMap[arrow.getId()];
+            assertEquals(booking.getStart(), locations.computeIfAbsent(arrow.getFrom(), k -> booking.getStart())
+                    .intValue());
+            assertEquals(booking.getEnd(), locations.computeIfAbsent(arrow.getTo(), k -> booking.getEnd())
+                    .intValue());
+        }
+    }
+
+    /**
+     * Optimizes the bookings and checks the chains of bookings in terms of the original locations.
+     *
+     * @param bookings       bookings to optimize
+     * @param expectedChains expected number of chains or -1 to check only that the number is minimal
+     */
+    private static void assertOptimizedLogistics(List<Booking> bookings, int expectedChains) {
+        assertOptimizedLogistics(bookings, QuietOutput.call(() -> BookingsUtilities.optimizeLogistics(bookings)),
+                expectedChains);
+    }
+
+    /**
+     * Checks the chains of bookings in terms of the original locations.
+     *
+     * @param bookings       optimized bookings
+     * @param chains         chains of the bookings found by the optimization
+     * @param expectedChains expected number of chains or -1 to check only that the number is minimal
+     */
+    private static void assertOptimizedLogistics(List<Booking> bookings, List<List<Booking>> chains,
+                                                 int expectedChains) {
+        // Represent the bookings as the arrows numbered in the order of input, to check them as graph paths
+        Map<Booking, Integer> indexes = new IdentityHashMap<>();
+        List<Arrow> arrows = new ArrayList<>();
+        for (Booking booking : bookings) {
+            indexes.put(booking, arrows.size());
+            arrows.add(new Arrow(booking.getStart(), booking.getEnd(), arrows.size()));
+        }
+        List<List<Arrow>> paths = chains.stream()
+                .map(x -> x.stream().map(y -> arrows.get(indexes.get(y))).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+
+        assertDeepUniquePaths(arrows, paths);
+        if (expectedChains >= 0) {
+            assertEquals(expectedChains, chains.size());
+        }
+    }
+
+    private static List<Booking> skewedSparseLocations(int count) {
+        return toBookings(new RandomArrowsGenerator(1)
+                .hubArrows(count * 3 / 8, 1_000_000_007, 0.6, 0, Integer.MAX_VALUE)
+                .randomArrows(count * 3 / 8, 0, Integer.MAX_VALUE)
+                .parallelArrows(count / 80, 10, 0, 1_000)
+                .selfLoops(count / 8, 0, 1_000)
+                .build());
+    }
+
+    private static List<Booking> toBookings(List<Arrow> arrows) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Arrow arrow : arrows) {
+            Booking booking = new Booking();
+            booking.setId(arrow.getId() + 1);
+            booking.setStart(arrow.getFrom());
+            booking.setEnd(arrow.getTo());
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static List<Booking> readBookings(String resource) throws Exception {
+        try (Reader reader = new InputStreamReader(BookingsUtilitiesTest.class.getResourceAsStream("/" + resource),
+                "UTF-8")) {
+            return new Gson().fromJson(reader, new TypeToken<List<Booking>>() { }.getType());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static com.artlycode.algs.graphs.vehiclebookingseqs.graph.PathsAssertions.assertDeepUniquePaths;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link GraphSnapshot}
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class GraphSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        List<Arrow> arrows = new RandomArrowsGenerator(1)
+                .randomArrows(1000, -50, 100)
+                .hubArrows(200, Integer.MAX_VALUE, 0.5, -50, 100)
+                .selfLoops(50, Integer.MIN_VALUE, 1)
+                .parallelArrows(20, 3, -50, 100)
+                .disjointCycles(10, 4, 1000)
+                .build();
+        List<List<Arrow>> paths = QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows));
+
+        Path file = folder.getRoot().toPath().resolve("graph.snapshot");
+        new GraphSnapshot(arrows, paths).write(file);
+        GraphSnapshot snapshot = GraphSnapshot.read(file);
+
+        assertEquals(toString(arrows), toString(snapshot.getArrows()));
+        assertEquals(paths.size(), snapshot.getPaths().size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertEquals(paths.get(i).toString(), snapshot.getPaths().get(i).toString());
+        }
+        assertDeepUniquePaths(arrows, snapshot.getPaths());
+    }
+
+    @Test
+    public void testReadSharesArrows() throws IOException {
+        List<Arrow> arrows = Arrays.asList(new Arrow(1, 2, 0), new Arrow(2, 1, 1));
+        Path file = folder.getRoot().toPath().resolve("graph.snapshot");
+        new GraphSnapshot(arrows, Collections.singletonList(arrows)).write(file);
+        GraphSnapshot snapshot = GraphSnapshot.read(file);
+
+        for (Arrow arrow : snapshot.getPaths().get(0)) {
+            assertTrue(snapshot.getArrows().stream().anyMatch(x -> x == arrow));
+        }
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("graph.snapshot");
+        new GraphSnapshot(Collections.emptyList(), Collections.emptyList()).write(file);
+        GraphSnapshot snapshot = GraphSnapshot.read(file);
+
+        assertEquals(0, snapshot.getArrows().size());
+        assertEquals(0, snapshot.getPaths().size());
+    }
+
+    @Test
+    public void testReadCorruptedFile() throws IOException {
+        List<Arrow> arrows = new RandomArrowsGenerator(2).randomArrows(100, 0, 10).build();
+        Path file = folder.getRoot().toPath().resolve("graph.snapshot");
+        new GraphSnapshot(arrows, QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows))).write(file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertReadFails(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertReadFails(file);
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertReadFails(file);
+    }
+
+    @Test
+    public void testReadInconsistentFile() throws IOException {
+        // The file has the ints: header[0..4], vertices[5..6], arrow offsets[7..9], arrow ids[10..11],
+        // arrow ends[12..13], path offsets[14..15], path arrows[16..17]
+        List<Arrow> arrows = Arrays.asList(new Arrow(1, 2, 0), new Arrow(2, 1, 1));
+        Path file = folder.getRoot().toPath().resolve("graph.snapshot");
+        new GraphSnapshot(arrows, Collections.singletonList(arrows)).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        assertReadFailsWithInt(file, bytes, 7, 1);
+        assertReadFailsWithInt(file, bytes, 8, 3);
+        assertReadFailsWithInt(file, bytes, 9, 1);
+        assertReadFailsWithInt(file, bytes, 12, 2);
+        assertReadFailsWithInt(file, bytes, 13, -1);
+        assertReadFailsWithInt(file, bytes, 14, 1);
+        assertReadFailsWithInt(file, bytes, 16, 2);
+        assertReadFailsWithInt(file, bytes, 17, -1);
+    }
+
+    @Test
+    public void testWriteFailureDeletesTemporaryFile() throws IOException {
+        // The target is a non-empty directory, so the written temporary file can't replace it
+        Path file = folder.newFolder("graph.snapshot").toPath();
+        Files.createFile(file.resolve("file"));
+        List<Arrow> arrows = Arrays.asList(new Arrow(1, 2, 0), new Arrow(2, 1, 1));
+        try {
+            new GraphSnapshot(arrows, Collections.singletonList(arrows)).write(file);
+            fail("Snapshot is written over the directory");
+        } catch (IOException e) {
+            // expected
+        }
+        assertFalse(Files.exists(file.resolveSibling("graph.snapshot.tmp")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteDuplicateArrowIds() throws IOException {
+        List<Arrow> arrows = Arrays.asList(new Arrow(1, 2, 0), new Arrow(2, 1, 0));
+        new GraphSnapshot(arrows, Collections.emptyList()).write(folder.getRoot().toPath().resolve("graph.snapshot"));
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeGraph() throws IOException {
+        List<Arrow> arrows = new RandomArrowsGenerator(3)
+                .hubArrows(500_000, 0, 0.6, 0, 100_000)
+                .randomArrows(500_000, 0, 250_000)
+                .build();
+        long start = System.nanoTime();
+        List<List<Arrow>> paths = QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows));
+        long searchTime = System.nanoTime() - start;
+
+        Path file = folder.getRoot().toPath().resolve("graph.snapshot");
+        new GraphSnapshot(arrows, paths).write(file);
+        start = System.nanoTime();
+        GraphSnapshot snapshot = GraphSnapshot.read(file);
+        long readTime = System.nanoTime() - start;
+
+        // The snapshot is worth keeping only if reading it is faster than searching the paths again
+        assertTrue("Reading the snapshot takes " + readTime / 1_000_000 + " ms, searching the paths takes "
+                + searchTime / 1_000_000 + " ms", readTime < searchTime);
+        assertEquals(paths.size(), snapshot.getPaths().size());
+        assertDeepUniquePaths(arrows, snapshot.getPaths());
+    }
+
+    private static void assertReadFails(Path file) {
+        try {
+            GraphSnapshot.read(file);
+            fail("Corrupted snapshot is read");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Replaces one int of the snapshot, fixes the checksum, and checks the snapshot can't be read.
+     */
+    private static void assertReadFailsWithInt(Path file, byte[] bytes, int index, int value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putInt(4 * index, value);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, bytes.length - 8);
+        buffer.putLong(bytes.length - 8, crc.getValue());
+        Files.write(file, buffer.array());
+        assertReadFails(file);
+    }
+
+    private static String toString(List<Arrow> arrows) {
+        return arrows.stream()
+                .sorted(Comparator.comparingInt(Arrow::getId))
+                .map(Arrow::toString)
+                .collect(Collectors.joining(", "));
+    }
+}
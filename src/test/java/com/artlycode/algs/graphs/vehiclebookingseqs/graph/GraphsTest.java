@@ -0,0 +1,149 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static com.artlycode.algs.graphs.vehiclebookingseqs.graph.PathsAssertions.assertDeepUniquePaths;
+import static com.artlycode.algs.graphs.vehiclebookingseqs.graph.ScalingAssertions.assertLinearScaling;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link Graphs} on the generated graphs. The tests on the large graphs also check the time budget, and that
+ * the time grows linearly with the size of the graph, so the performance regressions fail the build. They belong to
+ * {@link LargeTests}.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class GraphsTest {
+
+    private static final int LARGE_GRAPH_ARROWS = 1_000_000;
+
+    private static final long LARGE_GRAPH_BUDGET_MILLIS = 30_000;
+
+    @Test
+    public void testSelfLoop() {
+        List<Arrow> arrows = Arrays.asList(new Arrow(2, 2, 0));
+        List<List<Arrow>> paths = QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows));
+        assertDeepUniquePaths(arrows, paths);
+        assertEquals(1, paths.size());
+    }
+
+    @Test
+    public void testParallelArrows() {
+        List<Arrow> arrows = Arrays.asList(new Arrow(1, 2, 0), new Arrow(1, 2, 1), new Arrow(1, 2, 2));
+        List<List<Arrow>> paths = QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows));
+        assertDeepUniquePaths(arrows, paths);
+        assertEquals(3, paths.size());
+    }
+
+    @Test
+    public void testCyclesInsertedIntoEachOther() {
+        // Cycle 3 -> 4 -> 3 shares a vertex with the path 0 -> 1 only through the cycle 1 -> 2 -> 3 -> 1
+        List<Arrow> arrows = Arrays.asList(new Arrow(3, 4, 0), new Arrow(4, 3, 1), new Arrow(0, 1, 2),
+                new Arrow(1, 2, 3), new Arrow(2, 3, 4), new Arrow(3, 1, 5), new Arrow(5, 5, 6), new Arrow(6, 5, 7),
+                new Arrow(5, 6, 8));
+        List<List<Arrow>> paths = QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows));
+        assertDeepUniquePaths(arrows, paths);
+        assertEquals(2, paths.size());
+    }
+
+    @Test
+    public void testRandomSmallGraphs() {
+        for (int seed = 0; seed < 2000; seed++) {
+            RandomArrowsGenerator generator = new RandomArrowsGenerator(seed);
+            int numVertices = 1 + seed % 10;
+            List<Arrow> arrows = generator.randomArrows(1 + seed % 40, 0, numVertices)
+                    .hubArrows(seed % 7, 0, 0.5, 0, numVertices)
+                    .selfLoops(seed % 3, 0, numVertices)
+                    .parallelArrows(seed % 4, 2, 0, numVertices)
+                    .disjointCycles(seed % 3, 1 + seed % 4, numVertices)
+                    .build();
+            assertDeepUniquePaths(arrows, QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(arrows)));
+        }
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeRandomGraph() {
+        assertLinearDeepUniquePaths(arrows -> new RandomArrowsGenerator(1)
+                .randomArrows(arrows, 0, arrows / 4)
+                .build());
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeSkewedGraph() {
+        assertLinearDeepUniquePaths(arrows -> new RandomArrowsGenerator(2)
+                .hubArrows(arrows / 4, 0, 0.7, 0, arrows / 10)
+                .hubArrows(arrows / 4, 1, 0.3, 0, arrows / 10)
+                .hubArrows(arrows / 10, 2, 0.5, 0, arrows / 10)
+                .randomArrows(arrows / 5, 0, arrows / 10)
+                .selfLoops(arrows / 20, 0, 10)
+                .selfLoops(arrows / 20, 0, arrows / 10)
+                .parallelArrows(arrows / 100, 10, 0, arrows / 10)
+                .build());
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeDisjointCycles() {
+        List<List<Arrow>> paths = assertLinearDeepUniquePaths(arrows -> new RandomArrowsGenerator(3)
+                .disjointCycles(arrows / 20, 10, 0)
+                .disjointCycles(arrows / 20, 1, arrows)
+                .build());
+        assertEquals(LARGE_GRAPH_ARROWS / 10, paths.size());
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeBalancedGraph() {
+        // Disjoint cycles with self-loops on their vertices, and a lot of self-loops on the vertices of the first cycle
+        assertLinearDeepUniquePaths(arrows -> new RandomArrowsGenerator(4)
+                .disjointCycles(arrows / 10, 5, 0)
+                .selfLoops(arrows / 4, 0, arrows / 2)
+                .selfLoops(arrows / 4, 0, 3)
+                .build());
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargePathWithSideCycles() {
+        // Every cycle has to be inserted into the long path at its own vertex
+        List<List<Arrow>> paths = assertLinearDeepUniquePaths(arrows -> new RandomArrowsGenerator(5)
+                .pathWithSideCycles(arrows / 3, 2, 0)
+                .build());
+        assertEquals(1, paths.size());
+    }
+
+    @Test
+    @Category(LargeTests.class)
+    public void testLargeHubRoundTrips() {
+        // All round trips are the cycles through the hub, which have to be inserted into each other
+        List<List<Arrow>> paths = assertLinearDeepUniquePaths(arrows -> new RandomArrowsGenerator(6)
+                .hubRoundTrips(arrows / 2, 0, 1, arrows / 20)
+                .build());
+        assertEquals(1, paths.size());
+    }
+
+    /**
+     * Checks the paths found in the graph of {@link #LARGE_GRAPH_ARROWS} arrows, that searching them fits
+     * {@link #LARGE_GRAPH_BUDGET_MILLIS}, and that the time grows linearly comparing with the graph of the same shape
+     * having twice less arrows.
+     *
+     * @param generator generator of the graph with the provided number of arrows
+     * @return paths found in the large graph
+     */
+    private static List<List<Arrow>> assertLinearDeepUniquePaths(IntFunction<List<Arrow>> generator) {
+        List<Arrow> arrows = generator.apply(LARGE_GRAPH_ARROWS);
+        List<List<Arrow>> paths = assertLinearScaling(generator.apply(LARGE_GRAPH_ARROWS / 2), arrows,
+                LARGE_GRAPH_BUDGET_MILLIS, x -> QuietOutput.call(() -> Graphs.breakAllIntoDeepUniquePaths(x)));
+        assertDeepUniquePaths(arrows, paths);
+        return paths;
+    }
+}
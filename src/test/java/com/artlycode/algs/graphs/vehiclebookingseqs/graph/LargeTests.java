@@ -0,0 +1,12 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+/**
+ * JUnit category of the tests on the graphs with millions of arrows. They take minutes, so they are excluded from
+ * the <code>test</code> task and run by the <code>largeTest</code> task instead.
+ * <p>Created: 10/19/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public interface LargeTests {
+}
@@ -0,0 +1,113 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Assertions checking the result of breaking a graph into deep unique paths.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class PathsAssertions {
+
+    /**
+     * Checks that the paths use every arrow of the graph exactly once, every path is uninterrupted, the number of
+     * paths is the minimal possible one and the paths start and end at the vertices where they have to.<br>
+     * <br>
+     * The minimal number of paths is calculated for every weakly connected component of the graph as the sum of
+     * positive vertex degrees, or 1 if all vertices of the component have zero degree.
+     *
+     * @param arrows arrows of the graph
+     * @param paths  paths found in the graph
+     */
+    public static void assertDeepUniquePaths(List<Arrow> arrows, List<List<Arrow>> paths) {
+        Map<Integer, Arrow> arrowsById = new HashMap<>();
+        Map<Integer, Integer> degrees = new HashMap<>();
+        Map<Integer, Integer> components = new HashMap<>();
+        for (Arrow arrow : arrows) {
+            arrowsById.put(arrow.getId(), arrow);
+            degrees.merge(arrow.getFrom(), 1, Integer::sum);
+            degrees.merge(arrow.getTo(), -1, Integer::sum);
+            union(components, arrow.getFrom(), arrow.getTo());
+        }
+
+        // Every arrow is used exactly once and is not changed
+        boolean[] used = new boolean[arrows.size()];
+        for (List<Arrow> path : paths) {
+            assertFalse("Path is empty", path.isEmpty());
+            for (Arrow arrow : path) {
+                Arrow original = arrowsById.get(arrow.getId());
+                if (original == null) {
+                    fail("Unknown arrow " + arrow);
+                }
+                assertEquals("Arrow start is changed", original.getFrom(), arrow.getFrom());
+                assertEquals("Arrow end is changed", original.getTo(), arrow.getTo());
+                assertFalse("Arrow is used twice " + arrow, used[arrow.getId()]);
+                used[arrow.getId()] = true;
+            }
+        }
+        for (int i = 0; i < used.length; i++) {
+            assertTrue("Arrow is not used " + arrowsById.get(i), used[i]);
+        }
+
+        // Every path is uninterrupted and either is a cycle or starts at a vertex having more outbound arrows than
+        // inbound, and ends at a vertex having more inbound arrows than outbound.
+        for (List<Arrow> path : paths) {
+            Arrow prev = null;
+            for (Arrow arrow : path) {
+                if (prev != null && prev.getTo() != arrow.getFrom()) {
+                    fail("Path is interrupted between " + prev + " and " + arrow);
+                }
+                prev = arrow;
+            }
+            int start = path.get(0).getFrom();
+            int end = prev.getTo();
+            if (start != end) {
+                assertTrue("Path starts at a vertex with not positive degree " + start, degrees.get(start) > 0);
+                assertTrue("Path is not deep, it ends at a vertex with not negative degree " + end,
+                        degrees.get(end) < 0);
+            }
+        }
+
+        // The number of paths is minimal
+        Map<Integer, Integer> componentPaths = new HashMap<>();
+        for (Map.Entry<Integer, Integer> degree : degrees.entrySet()) {
+            componentPaths.merge(find(components, degree.getKey()), Integer.max(0, degree.getValue()), Integer::sum);
+        }
+        int minPaths = componentPaths.values().stream().mapToInt(x -> Integer.max(1, x)).sum();
+        assertEquals("Number of paths is not minimal", minPaths, paths.size());
+    }
+
+    private static void union(Map<Integer, Integer> components, int v1, int v2) {
+        int c1 = find(components, v1);
+        int c2 = find(components, v2);
+        if (c1 != c2) {
+            components.put(c1, c2);
+        }
+    }
+
+    private static int find(Map<Integer, Integer> components, int v) {
+        int c = v;
+        Integer parent = components.get(c);
+        while (parent != null && parent != c) {
+            c = parent;
+            parent = components.get(c);
+        }
+        // Compress the path to the found root
+        Integer next = components.get(v);
+        while (next != null && next != c) {
+            components.put(v, c);
+            v = next;
+            next = components.get(v);
+        }
+        return c;
+    }
+}
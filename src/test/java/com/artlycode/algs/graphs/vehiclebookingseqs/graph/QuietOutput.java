@@ -0,0 +1,42 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+/**
+ * Runs the code suppressing everything it prints into the standard output. The algorithms log all found paths,
+ * which would take more time than the algorithms themselves on the large graphs.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class QuietOutput {
+
+    private static final PrintStream NULL_STREAM = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    /**
+     * Calls the supplier with the standard output suppressed.
+     *
+     * @param supplier code to call
+     * @return result of the supplier
+     */
+    public static <T> T call(Supplier<T> supplier) {
+        PrintStream out = System.out;
+        System.setOut(NULL_STREAM);
+        try {
+            return supplier.get();
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
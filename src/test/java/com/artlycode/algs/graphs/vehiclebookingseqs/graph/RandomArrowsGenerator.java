@@ -0,0 +1,141 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of random directed multi-arrow graphs. The arrows of different shapes are accumulated by the builder
+ * methods, and then shuffled and numbered sequentially without gaps.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class RandomArrowsGenerator {
+
+    private final Random random;
+
+    private final List<int[]> arrows;
+
+    public RandomArrowsGenerator(final long seed) {
+        this.random = new Random(seed);
+        this.arrows = new ArrayList<>();
+    }
+
+    /**
+     * Adds arrows connecting random vertices from the range [firstVertex, firstVertex + numVertices)
+     */
+    public RandomArrowsGenerator randomArrows(int count, int firstVertex, int numVertices) {
+        for (int i = 0; i < count; i++) {
+            addArrow(firstVertex + random.nextInt(numVertices), firstVertex + random.nextInt(numVertices));
+        }
+        return this;
+    }
+
+    /**
+     * Adds arrows connecting the hub with random vertices from the range [firstVertex, firstVertex + numVertices).
+     * Every arrow is outbound from the hub with the provided probability and inbound otherwise.
+     */
+    public RandomArrowsGenerator hubArrows(int count, int hub, double outRatio, int firstVertex, int numVertices) {
+        for (int i = 0; i < count; i++) {
+            int v = firstVertex + random.nextInt(numVertices);
+            if (random.nextDouble() < outRatio) {
+                addArrow(hub, v);
+            } else {
+                addArrow(v, hub);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds arrows starting and ending at the same random vertex from the range [firstVertex, firstVertex + numVertices)
+     */
+    public RandomArrowsGenerator selfLoops(int count, int firstVertex, int numVertices) {
+        for (int i = 0; i < count; i++) {
+            int v = firstVertex + random.nextInt(numVertices);
+            addArrow(v, v);
+        }
+        return this;
+    }
+
+    /**
+     * Adds groups of the same number of arrows connecting the same pair of random vertices from the range
+     * [firstVertex, firstVertex + numVertices)
+     */
+    public RandomArrowsGenerator parallelArrows(int groups, int multiplicity, int firstVertex, int numVertices) {
+        for (int i = 0; i < groups; i++) {
+            int from = firstVertex + random.nextInt(numVertices);
+            int to = firstVertex + random.nextInt(numVertices);
+            for (int j = 0; j < multiplicity; j++) {
+                addArrow(from, to);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds cycles without common vertices, using the vertices sequentially starting from firstVertex.
+     */
+    public RandomArrowsGenerator disjointCycles(int count, int length, int firstVertex) {
+        for (int i = 0; i < count; i++) {
+            int start = firstVertex + i * length;
+            for (int j = 0; j < length; j++) {
+                addArrow(start + j, start + (j + 1) % length);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the path firstVertex -> firstVertex + 1 -> ... -> firstVertex + length, and a cycle of the provided length
+     * at every vertex of the path except the last one. The other vertices of the cycles are new, they are numbered
+     * sequentially after the last vertex of the path.
+     */
+    public RandomArrowsGenerator pathWithSideCycles(int length, int cycleLength, int firstVertex) {
+        int next = firstVertex + length + 1;
+        for (int i = 0; i < length; i++) {
+            int v = firstVertex + i;
+            addArrow(v, v + 1);
+
+            int prev = v;
+            for (int j = 1; j < cycleLength; j++) {
+                addArrow(prev, next);
+                prev = next++;
+            }
+            addArrow(prev, v);
+        }
+        return this;
+    }
+
+    /**
+     * Adds pairs of arrows from the hub to a random vertex from the range [firstVertex, firstVertex + numVertices)
+     * and back.
+     */
+    public RandomArrowsGenerator hubRoundTrips(int count, int hub, int firstVertex, int numVertices) {
+        for (int i = 0; i < count; i++) {
+            int v = firstVertex + random.nextInt(numVertices);
+            addArrow(hub, v);
+            addArrow(v, hub);
+        }
+        return this;
+    }
+
+    /**
+     * Returns all added arrows in random order having sequential ids starting from 0.
+     */
+    public List<Arrow> build() {
+        Collections.shuffle(arrows, random);
+        List<Arrow> result = new ArrayList<>(arrows.size());
+        for (int[] arrow : arrows) {
+            result.add(new Arrow(arrow[0], arrow[1], result.size()));
+        }
+        return result;
+    }
+
+    private void addArrow(int from, int to) {
+        arrows.add(new int[]{from, to});
+    }
+}
@@ -0,0 +1,88 @@
+package com.artlycode.algs.graphs.vehiclebookingseqs.graph;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Assertions checking the time of an algorithm. The wall time on the large input has to fit the budget, and the time
+ * has to grow linearly with the size of the input.<br>
+ * <br>
+ * The budgets are generous, and can be scaled for a slow machine by the system property
+ * {@value #BUDGET_FACTOR_PROPERTY}, e.g. 2 doubles all of them. The growth is checked on the CPU time of the calling
+ * thread, which doesn't include the work of the garbage collector threads, because that depends on how the JVM grows
+ * the heap rather than on the algorithm.
+ * <p>Created: 10/18/26
+ *
+ * @author Artemiy Lysykh
+ * @since 1.0
+ */
+public class ScalingAssertions {
+
+    public static final String BUDGET_FACTOR_PROPERTY = "performance.budget.factor";
+
+    /**
+     * Maximal ratio of the times for the inputs of twice different sizes. Linear algorithm gives 2, quadratic one
+     * gives 4.
+     */
+    private static final double MAX_TIME_RATIO = 3;
+
+    private static final int ROUNDS = 3;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Checks that the algorithm takes no more than the budget on the large input, and less than
+     * {@link #MAX_TIME_RATIO} times more time on it than on the small one, where the large input is twice larger.
+     * The algorithm is called once on the small input to warm up, and then the best time of several rounds is taken
+     * for every input.
+     *
+     * @param small        input of the size N
+     * @param large        input of the size 2N
+     * @param budgetMillis wall time budget for the large input in milliseconds, scaled by
+     *                     {@value #BUDGET_FACTOR_PROPERTY}
+     * @param algorithm    algorithm to check
+     * @return result of the algorithm on the large input
+     */
+    public static <T, R> R assertLinearScaling(T small, T large, long budgetMillis, Function<T, R> algorithm) {
+        algorithm.apply(small);
+
+        long smallTime = Long.MAX_VALUE;
+        long largeTime = Long.MAX_VALUE;
+        long largeWallTime = Long.MAX_VALUE;
+        R result = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            System.gc();
+            long start = getThreadTime();
+            algorithm.apply(small);
+            smallTime = Long.min(smallTime, getThreadTime() - start);
+
+            System.gc();
+            long wallStart = System.nanoTime();
+            start = getThreadTime();
+            result = algorithm.apply(large);
+            largeTime = Long.min(largeTime, getThreadTime() - start);
+            largeWallTime = Long.min(largeWallTime, System.nanoTime() - wallStart);
+        }
+
+        long budget = (long) (budgetMillis * Double.parseDouble(System.getProperty(BUDGET_FACTOR_PROPERTY, "1")));
+        assertTrue("Time exceeds the budget: " + largeWallTime / 1_000_000 + " ms, the budget is " + budget + " ms",
+                largeWallTime / 1_000_000 <= budget);
+
+        double ratio = (double) largeTime / smallTime;
+        assertTrue("Time grows faster than linearly: " + smallTime / 1_000_000 + " ms of CPU on the small input, "
+                + largeTime / 1_000_000 + " ms on the twice larger one", ratio < MAX_TIME_RATIO);
+        return result;
+    }
+
+    /**
+     * Returns the CPU time of the current thread in nanoseconds, or the wall time if the JVM doesn't measure it.
+     */
+    private static long getThreadTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled()
+                ? THREADS.getCurrentThreadCpuTime()
+                : System.nanoTime();
+    }
+}